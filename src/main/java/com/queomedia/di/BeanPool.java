@@ -0,0 +1,98 @@
+package com.queomedia.di;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+final class BeanPool {
+
+    private static final int CHECKED_OUT_STRIPE_COUNT = 16;
+
+    private final AtomicReferenceArray<Object> idleInstances;
+    // instances handed out by acquire and not released yet, striped by identity hash code to keep contention low
+    private final Set<Object>[] checkedOutInstanceStripes;
+    private final Supplier<Object> instanceFactory;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    BeanPool(int poolSize, Supplier<Object> instanceFactory) {
+        if (poolSize < 1)
+            throw new IllegalArgumentException("pool size must be at least 1");
+
+        this.idleInstances = new AtomicReferenceArray<>(poolSize);
+        this.instanceFactory = instanceFactory;
+        this.checkedOutInstanceStripes = createCheckedOutInstanceStripes();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Set<Object>[] createCheckedOutInstanceStripes() {
+        Set<Object>[] stripes = new Set[CHECKED_OUT_STRIPE_COUNT];
+        for (int i = 0; i < stripes.length; i++)
+            stripes[i] = Collections.newSetFromMap(new IdentityHashMap<>());
+        return stripes;
+    }
+
+    Object acquire() {
+        int poolSize = idleInstances.length();
+        int startIndex = startIndexOfCurrentThread(poolSize);
+
+        for (int i = 0; i < poolSize; i++) {
+            int index = (startIndex + i) % poolSize;
+            Object instance = idleInstances.get(index);
+            if (instance != null && idleInstances.compareAndSet(index, instance, null)) {
+                hits.increment();
+                markCheckedOut(instance);
+                return instance;
+            }
+        }
+
+        misses.increment();
+        Object instance = instanceFactory.get();
+        markCheckedOut(instance);
+        return instance;
+    }
+
+    void release(Object instance) {
+        if (!unmarkCheckedOut(instance))
+            throw new IllegalArgumentException("instance of " + instance.getClass().getName() + " has not been acquired from the pool or has already been released");
+
+        int poolSize = idleInstances.length();
+        int startIndex = startIndexOfCurrentThread(poolSize);
+
+        for (int i = 0; i < poolSize; i++) {
+            int index = (startIndex + i) % poolSize;
+            if (idleInstances.get(index) == null && idleInstances.compareAndSet(index, null, instance))
+                return;
+        }
+        // pool is full, the instance is left to the garbage collector
+    }
+
+    private void markCheckedOut(Object instance) {
+        Set<Object> stripe = checkedOutInstanceStripeOf(instance);
+        synchronized (stripe) {
+            stripe.add(instance);
+        }
+    }
+
+    private boolean unmarkCheckedOut(Object instance) {
+        Set<Object> stripe = checkedOutInstanceStripeOf(instance);
+        synchronized (stripe) {
+            return stripe.remove(instance);
+        }
+    }
+
+    private Set<Object> checkedOutInstanceStripeOf(Object instance) {
+        return checkedOutInstanceStripes[System.identityHashCode(instance) & (CHECKED_OUT_STRIPE_COUNT - 1)];
+    }
+
+    PoolStatistics getStatistics() {
+        return new PoolStatistics(hits.sum(), misses.sum());
+    }
+
+    private static int startIndexOfCurrentThread(int poolSize) {
+        return (int) (Thread.currentThread().getId() % poolSize);
+    }
+}
@@ -3,6 +3,7 @@ package com.queomedia.di;
 import com.queomedia.di.annotations.Bean;
 import com.queomedia.di.annotations.Inject;
 import com.queomedia.di.annotations.Named;
+import com.queomedia.di.annotations.Scope;
 import org.reflections.ReflectionUtils;
 import org.reflections.Reflections;
 import org.reflections.ReflectionsException;
@@ -11,10 +12,16 @@ import org.reflections.scanners.TypeAnnotationsScanner;
 import org.reflections.util.ClasspathHelper;
 import org.reflections.util.ConfigurationBuilder;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -31,7 +38,7 @@ public class Container {
 
         @Override
         public Object provideSingleton(Class<?> type) {
-            return Container.createSingletonObjectOfClass(type);
+            return Container.createObjectOfClass(type);
         }
     }
 
@@ -51,9 +58,17 @@ public class Container {
 
     private static final SingletonProviderStrategy CREATE_NEW_SINGLETON_STRATEGY = new SingletonProviderCreateNewSingletonStrategy();
 
+    private static final ClassValue<InjectionPlan> INJECTION_PLANS = new ClassValue<>() {
+        @Override
+        protected InjectionPlan computeValue(Class<?> type) {
+            return new InjectionPlan(getInjectableFieldsOfBeanClass(type));
+        }
+    };
+
     private final Set<String> packageNames = new HashSet<>();
     private final Map<String, Object> injectableNameToInjectableObjectMap = new HashMap<>();
     private final Map<String, Object> beanNameToSingletonMap = new HashMap<>();
+    private final Map<Class<?>, BeanPool> beanClassToPoolMap = new HashMap<>();
     private final Set<String> classesToExcludeFromScanning = new HashSet<>();
     private final Set<Object> manuallyInstantiatedBeans = new HashSet<>();
     private final Set<Class<?>> manuallyAddedBeanClasses = new HashSet<>();
@@ -63,10 +78,75 @@ public class Container {
     }
 
     public void addInjectable(String injectableName, Object injectable) {
+        throwIfInjectableNameIsTaken(injectableName);
+
+        injectableNameToInjectableObjectMap.put(injectableName, injectable);
+    }
+
+    /**
+     * Adds every entry of the given file as an injectable. The file is read line by line and supports a subset of the
+     * {@code .properties} format: each line is {@code name=value} or {@code name:value}, split at the first {@code =}
+     * or {@code :}, with surrounding whitespace stripped from name and value. Blank lines and lines starting with
+     * {@code #} or {@code !} are skipped. Escapes, whitespace separators and line continuations are not supported.
+     * Values are kept as strings and converted to the type of the injected field on first injection.
+     * <p>
+     * Either all entries of the file are added or, if the file can not be read or contains an invalid line or a
+     * duplicate name, none of them.
+     */
+    public void addInjectables(Path injectablesFile) {
+        Map<String, Object> injectablesOfFile = readInjectablesFromFile(injectablesFile);
+
+        for (String injectableName : injectablesOfFile.keySet())
+            throwIfInjectableNameIsTaken(injectableName);
+
+        injectableNameToInjectableObjectMap.putAll(injectablesOfFile);
+    }
+
+    private void throwIfInjectableNameIsTaken(String injectableName) {
         if (injectableNameToInjectableObjectMap.containsKey(injectableName))
             throw new IllegalArgumentException("container already contains bean with name " + injectableName);
+    }
 
-        injectableNameToInjectableObjectMap.put(injectableName, injectable);
+    private static Map<String, Object> readInjectablesFromFile(Path injectablesFile) {
+        Map<String, Object> injectablesOfFile = new LinkedHashMap<>();
+
+        try (BufferedReader reader = Files.newBufferedReader(injectablesFile, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                addInjectableFromLine(injectablesOfFile, line.strip(), lineNumber);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("could not read injectables from " + injectablesFile, e);
+        }
+        return injectablesOfFile;
+    }
+
+    private static void addInjectableFromLine(Map<String, Object> injectablesOfFile, String line, int lineNumber) {
+        if (line.isEmpty() || line.startsWith("#") || line.startsWith("!"))
+            return;
+
+        int separatorIndex = indexOfKeyValueSeparator(line);
+        if (separatorIndex <= 0)
+            throw new IllegalArgumentException("line " + lineNumber + " is not of the form name=value or name:value");
+
+        String injectableName = line.substring(0, separatorIndex).strip();
+        String rawValue = line.substring(separatorIndex + 1).strip();
+
+        if (injectablesOfFile.containsKey(injectableName))
+            throw new IllegalArgumentException("injectable " + injectableName + " is defined more than once in file");
+
+        injectablesOfFile.put(injectableName, new LazyInjectable(injectableName, rawValue));
+    }
+
+    private static int indexOfKeyValueSeparator(String line) {
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '=' || c == ':')
+                return i;
+        }
+        return -1;
     }
 
     public void addClass(Class<?> clazz) {
@@ -86,6 +166,8 @@ public class Container {
         Class<?> clazz = instantiatedBean.getClass();
         if (!classIsBean(clazz))
             throw new IllegalArgumentException(clazz.getName() + " is not annotated with @Bean");
+        if (classIsPooledBean(clazz))
+            throw new IllegalArgumentException(clazz.getName() + " is a pooled bean and can not be added as instance");
 
         manuallyInstantiatedBeans.add(instantiatedBean);
     }
@@ -100,7 +182,9 @@ public class Container {
             if (classCanNotBeInstantiated(clazz))
                 continue;
 
-            if (!beanClassIsManuallyAdded(clazz))
+            if (classIsPooledBean(clazz))
+                addPoolOfBeanClass(clazz);
+            else if (!beanClassIsManuallyAdded(clazz))
                 injectFieldsIntoBean(clazz, CREATE_NEW_SINGLETON_STRATEGY);
         }
 
@@ -120,19 +204,51 @@ public class Container {
         return false;
     }
 
-    private void injectFieldsIntoBean(Class<?> beanClass, SingletonProviderStrategy singletonProviderStrategy) {
-        Set<Field> injectableFields = getInjectableFieldsOfBeanClass(beanClass);
+    /**
+     * Injects the injectables of this container into the {@code @Inject} fields of an object that was not created by
+     * the container. The injectable fields of each class are looked up once and cached, so repeated calls only write
+     * the field values. May be called from multiple threads at once, as long as no injectables are added concurrently.
+     */
+    public void injectInto(Object target) {
+        InjectionPlan injectionPlan = getInjectionPlanOfClass(target.getClass());
+        injectionPlan.injectInto(target, injectableNameToInjectableObjectMap);
+    }
+
+    public void injectIntoAll(Object... targets) {
+        for (Object target : targets)
+            injectInto(target);
+    }
+
+    public void injectIntoAll(Iterable<?> targets) {
+        for (Object target : targets)
+            injectInto(target);
+    }
 
-        if (beanClassHasEquallyNamedInjectableFields(injectableFields))
-            throw new IllegalStateException("bean must not have 2 equally named injectable fields");
+    private void injectFieldsIntoBean(Class<?> beanClass, SingletonProviderStrategy singletonProviderStrategy) {
+        InjectionPlan injectionPlan = getInjectionPlanOfClass(beanClass);
 
         Object singleton = singletonProviderStrategy.provideSingleton(beanClass);
 
-        setValuesOfInjectableFields(injectableFields, singleton);
+        injectionPlan.injectInto(singleton, injectableNameToInjectableObjectMap);
         String beanName = getBeanNameOfClass(beanClass);
         addSingletonToMap(beanName, singleton);
     }
 
+    private void addPoolOfBeanClass(Class<?> beanClass) {
+        beanClassToPoolMap.computeIfAbsent(beanClass, this::createPoolOfBeanClass);
+    }
+
+    private BeanPool createPoolOfBeanClass(Class<?> beanClass) {
+        InjectionPlan injectionPlan = getInjectionPlanOfClass(beanClass);
+        int poolSize = beanClass.getAnnotation(Bean.class).poolSize();
+
+        return new BeanPool(poolSize, () -> {
+            Object instance = createObjectOfClass(beanClass);
+            injectionPlan.injectInto(instance, injectableNameToInjectableObjectMap);
+            return instance;
+        });
+    }
+
     private void injectManuallyAddedSingletons() {
         for (Object singleton : manuallyInstantiatedBeans) {
             Class<?> beanClass = singleton.getClass();
@@ -171,10 +287,51 @@ public class Container {
         throwIfClassIsNotBean(clazz);
         throwIfClassIsNotAddedAndScanned(clazz);
 
+        if (classIsPooledBean(clazz))
+            throw new IllegalArgumentException("type " + clazz.getName() + " is a pooled bean and must be acquired");
+
         String beanName = getBeanNameOfClass(clazz);
         return beanNameToSingletonMap.get(beanName);
     }
 
+    /**
+     * Takes an idle instance of a {@link Scope#POOLED_PROTOTYPE} bean from its pool, or creates and injects a new one
+     * if the pool is empty. The instance should be handed back with {@link #release(Object)} once it is not used anymore.
+     */
+    public <T> T acquire(Class<T> clazz) {
+        BeanPool pool = getPoolOfClass(clazz);
+        return clazz.cast(pool.acquire());
+    }
+
+    /**
+     * Returns an instance obtained by {@link #acquire(Class)} to its pool. The instance is dropped if the pool is full.
+     * Releasing an instance that is not currently acquired, because it was created elsewhere or has already been
+     * released, throws. An acquired instance that is never released is kept referenced by the pool.
+     */
+    public void release(Object pooledBean) {
+        BeanPool pool = getPoolOfClass(pooledBean.getClass());
+        pool.release(pooledBean);
+    }
+
+    public PoolStatistics getPoolStatistics(Class<?> clazz) {
+        BeanPool pool = getPoolOfClass(clazz);
+        return pool.getStatistics();
+    }
+
+    private BeanPool getPoolOfClass(Class<?> clazz) {
+        BeanPool pool = beanClassToPoolMap.get(clazz);
+        if (pool != null)
+            return pool;
+
+        throwIfClassCanNotBeInstantiated(clazz);
+        throwIfClassIsNotBean(clazz);
+        throwIfClassIsNotAddedAndScanned(clazz);
+
+        if (!classIsPooledBean(clazz))
+            throw new IllegalArgumentException("type " + clazz.getName() + " is not a pooled bean");
+        throw new IllegalStateException("container must be scanned before acquiring bean " + clazz.getName());
+    }
+
     private void throwIfClassIsNotAddedAndScanned(Class<?> clazz) {
         if (packageNames.isEmpty() && manuallyInstantiatedBeans.isEmpty() && manuallyAddedBeanClasses.isEmpty())
             throw new IllegalStateException("packages must be added and scanned before getting bean");
@@ -196,27 +353,11 @@ public class Container {
         beanNameToSingletonMap.put(beanName, newSingleton);
     }
 
-    private void setValuesOfInjectableFields(Set<Field> injectableFields, Object newSingleton) {
-        for (Field field : injectableFields) {
-            String injectableName = getFieldName(field);
-
-            Object valueToInject = injectableNameToInjectableObjectMap.get(injectableName);
-            try {
-                field.setAccessible(true);
-                field.set(newSingleton, valueToInject);
-            } catch (IllegalAccessException e) {
-                e.printStackTrace();
-            }
-        }
-    }
-
-    private static boolean beanClassHasEquallyNamedInjectableFields(Set<Field> injectableFields) {
-        List<String> fieldNames = injectableFields
-                .stream()
-                .map(Container::getFieldName)
-                .collect(Collectors.toList());
-
-        return CollectionUtils.containsDuplicates(fieldNames);
+    private static InjectionPlan getInjectionPlanOfClass(Class<?> clazz) {
+        InjectionPlan injectionPlan = INJECTION_PLANS.get(clazz);
+        if (injectionPlan.hasEquallyNamedInjectableFields())
+            throw new IllegalStateException(clazz.getName() + " must not have 2 equally named injectable fields");
+        return injectionPlan;
     }
 
     private Set<Class<?>> getAllBeanClassesByPackageName(String packageName) {
@@ -273,7 +414,7 @@ public class Container {
         return ReflectionUtils.getAllFields(clazz, withAnnotation(Inject.class));
     }
 
-    private static Object createSingletonObjectOfClass(Class<?> clazz) {
+    private static Object createObjectOfClass(Class<?> clazz) {
         Constructor<?> constructor = getDefaultConstructorOfClass(clazz);
         try {
             constructor.setAccessible(true);
@@ -287,6 +428,10 @@ public class Container {
         return clazz.isAnnotationPresent(Bean.class);
     }
 
+    private static boolean classIsPooledBean(Class<?> clazz) {
+        return classIsBean(clazz) && clazz.getAnnotation(Bean.class).scope() == Scope.POOLED_PROTOTYPE;
+    }
+
     private static Constructor<?> getDefaultConstructorOfClass(Class<?> clazz) {
         return ReflectionUtils.getConstructors(clazz, withParametersCount(0)).stream().findFirst().orElseThrow();
     }
@@ -298,7 +443,7 @@ public class Container {
             return clazz.getName();
     }
 
-    private static String getFieldName(Field field) {
+    static String getFieldName(Field field) {
         Named named = field.getAnnotation(Named.class);
         if (named != null)
             return named.name();
@@ -0,0 +1,44 @@
+package com.queomedia.di;
+
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+
+final class InjectionPlan {
+
+    private final Field[] injectableFields;
+    private final String[] injectableNames;
+    private final boolean equallyNamedInjectableFields;
+
+    InjectionPlan(Collection<Field> injectableFields) {
+        this.injectableFields = injectableFields.toArray(new Field[0]);
+        this.injectableNames = new String[this.injectableFields.length];
+
+        for (int i = 0; i < this.injectableFields.length; i++) {
+            this.injectableFields[i].setAccessible(true);
+            this.injectableNames[i] = Container.getFieldName(this.injectableFields[i]);
+        }
+        this.equallyNamedInjectableFields = CollectionUtils.containsDuplicates(Arrays.asList(injectableNames));
+    }
+
+    boolean hasEquallyNamedInjectableFields() {
+        return equallyNamedInjectableFields;
+    }
+
+    void injectInto(Object target, Map<String, Object> injectableNameToInjectableObjectMap) {
+        for (int i = 0; i < injectableFields.length; i++) {
+            Field field = injectableFields[i];
+
+            Object valueToInject = injectableNameToInjectableObjectMap.get(injectableNames[i]);
+            if (valueToInject instanceof LazyInjectable)
+                valueToInject = ((LazyInjectable) valueToInject).getValueOfType(field.getType());
+
+            try {
+                field.set(target, valueToInject);
+            } catch (IllegalAccessException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.queomedia.di;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+final class LazyInjectable {
+
+    private static final class ConvertedValue {
+
+        private final Class<?> type;
+        private final Object value;
+
+        private ConvertedValue(Class<?> type, Object value) {
+            this.type = type;
+            this.value = value;
+        }
+    }
+
+    private final String injectableName;
+    private final String rawValue;
+    private volatile ConvertedValue firstConvertedValue;
+    // only created if the injectable is injected into fields of more than one type
+    private volatile Map<Class<?>, Object> otherTypeToConvertedValueMap;
+
+    LazyInjectable(String injectableName, String rawValue) {
+        this.injectableName = injectableName;
+        this.rawValue = rawValue;
+    }
+
+    Object getValueOfType(Class<?> type) {
+        ConvertedValue first = firstConvertedValue;
+        if (first != null && first.type == type)
+            return first.value;
+
+        if (first == null) {
+            Object value = convertRawValueToType(type);
+            firstConvertedValue = new ConvertedValue(type, value);
+            return value;
+        }
+
+        return getOtherTypeToConvertedValueMap().computeIfAbsent(type, this::convertRawValueToType);
+    }
+
+    private Map<Class<?>, Object> getOtherTypeToConvertedValueMap() {
+        Map<Class<?>, Object> map = otherTypeToConvertedValueMap;
+        if (map != null)
+            return map;
+
+        synchronized (this) {
+            if (otherTypeToConvertedValueMap == null)
+                otherTypeToConvertedValueMap = new ConcurrentHashMap<>();
+            return otherTypeToConvertedValueMap;
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Object convertRawValueToType(Class<?> type) {
+        try {
+            if (type.isAssignableFrom(String.class))
+                return rawValue;
+            if (type == Integer.class || type == int.class)
+                return Integer.valueOf(rawValue);
+            if (type == Long.class || type == long.class)
+                return Long.valueOf(rawValue);
+            if (type == Double.class || type == double.class)
+                return Double.valueOf(rawValue);
+            if (type == Float.class || type == float.class)
+                return Float.valueOf(rawValue);
+            if (type == Short.class || type == short.class)
+                return Short.valueOf(rawValue);
+            if (type == Byte.class || type == byte.class)
+                return Byte.valueOf(rawValue);
+            if (type == Boolean.class || type == boolean.class)
+                return parseBoolean(rawValue);
+            if ((type == Character.class || type == char.class) && rawValue.length() == 1)
+                return rawValue.charAt(0);
+            if (type.isEnum())
+                return Enum.valueOf((Class<? extends Enum>) type, rawValue);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("injectable " + injectableName + " can not be converted to type " + type.getName(), e);
+        }
+        throw new IllegalArgumentException("injectable " + injectableName + " can not be converted to type " + type.getName());
+    }
+
+    private static Boolean parseBoolean(String value) {
+        if (value.equalsIgnoreCase("true"))
+            return Boolean.TRUE;
+        if (value.equalsIgnoreCase("false"))
+            return Boolean.FALSE;
+        throw new IllegalArgumentException(value + " is neither true nor false");
+    }
+}
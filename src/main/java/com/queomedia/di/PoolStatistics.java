@@ -0,0 +1,26 @@
+package com.queomedia.di;
+
+public final class PoolStatistics {
+
+    private final long hits;
+    private final long misses;
+
+    PoolStatistics(long hits, long misses) {
+        this.hits = hits;
+        this.misses = misses;
+    }
+
+    /**
+     * Number of acquires that were served by an idle pooled instance.
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * Number of acquires that had to create a new instance because the pool was empty.
+     */
+    public long getMisses() {
+        return misses;
+    }
+}
@@ -9,4 +9,14 @@ import java.lang.annotation.Target;
 @Retention(RetentionPolicy.RUNTIME)
 public @interface Bean {
 
+    /**
+     * Whether the container shares a single instance of the bean or hands out instances from a pool.
+     */
+    Scope scope() default Scope.SINGLETON;
+
+    /**
+     * Maximum number of idle instances kept by a {@link Scope#POOLED_PROTOTYPE} bean.
+     */
+    int poolSize() default 16;
+
 }
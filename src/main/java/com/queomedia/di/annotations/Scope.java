@@ -0,0 +1,8 @@
+package com.queomedia.di.annotations;
+
+public enum Scope {
+
+    SINGLETON,
+    POOLED_PROTOTYPE
+
+}
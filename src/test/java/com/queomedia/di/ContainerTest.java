@@ -3,16 +3,39 @@ package com.queomedia.di;
 import com.queomedia.di.demobeans.AbstractDemo;
 import com.queomedia.di.demobeans.Demo;
 import com.queomedia.di.demobeans.DemoImpl2;
+import com.queomedia.di.demoinjection.InjectionTargetFlag;
 import com.queomedia.di.demoinjection.InjectionTargetNamed;
+import com.queomedia.di.demopooled.PooledWorker;
 import com.queomedia.di.invalidbeans.DemoImpl1;
 import com.queomedia.di.invalidbeans.DemoImpl3;
 import com.queomedia.di.invalidbeans.DemoImpl4;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.Assert.*;
 
 public class ContainerTest {
 
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private Path writeInjectablesFile(String content) throws IOException {
+        Path injectablesFile = temporaryFolder.newFile().toPath();
+        Files.writeString(injectablesFile, content);
+        return injectablesFile;
+    }
+
     @Test
     public void testBasicUseCase() {
         Container container = new Container();
@@ -248,4 +271,313 @@ public class ContainerTest {
         assertEquals(beanB, injectionTargetNamed.getValueB());
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testAddInjectablesFromFile() throws IOException {
+        Container container = new Container();
+        Path injectablesFile = writeInjectablesFile("# comment\n\na = 3\nb: 5\n");
+
+        container.addClass(InjectionTargetNamed.class);
+        container.addInjectables(injectablesFile);
+
+        container.scan();
+
+        InjectionTargetNamed injectionTargetNamed = (InjectionTargetNamed) container.getBeanOfClass(InjectionTargetNamed.class);
+        assertEquals(Integer.valueOf(3), injectionTargetNamed.getValueA());
+        assertEquals(Integer.valueOf(5), injectionTargetNamed.getValueB());
+    }
+
+    @Test
+    public void testThrowWhenInjectablesFileContainsAlreadyAddedName() throws IOException {
+        Container container = new Container();
+        Path injectablesFile = writeInjectablesFile("b=5\na=3\n");
+
+        container.addInjectable("a", 1);
+
+        try {
+            container.addInjectables(injectablesFile);
+            fail("should not be able to add injectable with name a twice");
+        } catch (IllegalArgumentException e) {
+
+        }
+
+        // b must not have been registered by the failed import
+        container.addInjectable("b", 5);
+    }
+
+    @Test
+    public void testThrowWhenInjectablesFileContainsLineWithoutSeparator() throws IOException {
+        Container container = new Container();
+        Path injectablesFile = writeInjectablesFile("b=5\na 3\n");
+
+        try {
+            container.addInjectables(injectablesFile);
+            fail("line without = or : must be rejected");
+        } catch (IllegalArgumentException e) {
+
+        }
+
+        container.addInjectable("b", 5);
+    }
+
+    @Test
+    public void testThrowWhenInjectableFromFileCanNotBeConverted() throws IOException {
+        Container container = new Container();
+        Path injectablesFile = writeInjectablesFile("a=three\nb=5\n");
+
+        container.addClass(InjectionTargetNamed.class);
+        container.addInjectables(injectablesFile);
+
+        try {
+            container.scan();
+            fail("a can not be converted to Integer");
+        } catch (IllegalArgumentException e) {
+
+        }
+    }
+
+    @Test
+    public void testThrowWhenInjectableFromFileIsNoBoolean() throws IOException {
+        Container container = new Container();
+        Path injectablesFile = writeInjectablesFile("enabled=yes\n");
+
+        container.addInjectables(injectablesFile);
+
+        try {
+            container.injectInto(new InjectionTargetFlag());
+            fail("yes is neither true nor false and can not be converted to Boolean");
+        } catch (IllegalArgumentException e) {
+
+        }
+    }
+
+    @Test
+    public void testInjectIntoExternallyCreatedObject() {
+        Container container = new Container();
+        Integer injectableA = 3;
+        Integer injectableB = 5;
+
+        container.addInjectable("a", injectableA);
+        container.addInjectable("b", injectableB);
+
+        InjectionTargetNamed injectionTargetNamed = new InjectionTargetNamed();
+        container.injectInto(injectionTargetNamed);
+
+        assertEquals(injectableA, injectionTargetNamed.getValueA());
+        assertEquals(injectableB, injectionTargetNamed.getValueB());
+    }
+
+    @Test
+    public void testInjectIntoAllExternallyCreatedObjects() {
+        Container container = new Container();
+        Integer injectableA = 3;
+        Integer injectableB = 5;
+
+        container.addInjectable("a", injectableA);
+        container.addInjectable("b", injectableB);
+
+        List<InjectionTargetNamed> injectionTargets = List.of(new InjectionTargetNamed(), new InjectionTargetNamed());
+        container.injectIntoAll(injectionTargets);
+
+        for (InjectionTargetNamed injectionTargetNamed : injectionTargets) {
+            assertEquals(injectableA, injectionTargetNamed.getValueA());
+            assertEquals(injectableB, injectionTargetNamed.getValueB());
+        }
+    }
+
+    @Test
+    public void testInjectIntoFromMultipleThreads() throws Exception {
+        Container container = new Container();
+        Integer injectableA = 3;
+        Integer injectableB = 5;
+
+        container.addInjectable("a", injectableA);
+        container.addInjectable("b", injectableB);
+
+        int threadCount = 8;
+        int targetsPerThread = 1000;
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch startSignal = new CountDownLatch(1);
+        List<Future<List<InjectionTargetNamed>>> futures = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < threadCount; i++) {
+                futures.add(executorService.submit(() -> {
+                    startSignal.await();
+                    List<InjectionTargetNamed> injectionTargets = new ArrayList<>();
+                    for (int j = 0; j < targetsPerThread; j++) {
+                        InjectionTargetNamed injectionTargetNamed = new InjectionTargetNamed();
+                        container.injectInto(injectionTargetNamed);
+                        injectionTargets.add(injectionTargetNamed);
+                    }
+                    return injectionTargets;
+                }));
+            }
+            startSignal.countDown();
+
+            for (Future<List<InjectionTargetNamed>> future : futures) {
+                List<InjectionTargetNamed> injectionTargets = future.get();
+                assertEquals(targetsPerThread, injectionTargets.size());
+                for (InjectionTargetNamed injectionTargetNamed : injectionTargets) {
+                    assertEquals(injectableA, injectionTargetNamed.getValueA());
+                    assertEquals(injectableB, injectionTargetNamed.getValueB());
+                }
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testThrowWhenInjectingIntoObjectWithEquallyNamedInjectableFields() {
+        Container container = new Container();
+
+        try {
+            container.injectInto(new DemoImpl1());
+            fail("DemoImpl1 has 2 equally named fields to inject");
+        } catch (IllegalStateException e) {
+
+        }
+    }
+
+    @Test
+    public void testAcquireAndReleasePooledBean() {
+        Container container = new Container();
+        Integer injectableA = 3;
+
+        container.addClass(PooledWorker.class);
+        container.addInjectable("a", injectableA);
+
+        container.scan();
+
+        PooledWorker workerA = container.acquire(PooledWorker.class);
+        PooledWorker workerB = container.acquire(PooledWorker.class);
+        assertNotSame(workerA, workerB);
+        assertEquals(injectableA, workerA.getValueA());
+        assertEquals(injectableA, workerB.getValueA());
+
+        container.release(workerA);
+        PooledWorker reusedWorker = container.acquire(PooledWorker.class);
+        assertSame(workerA, reusedWorker);
+
+        PoolStatistics poolStatistics = container.getPoolStatistics(PooledWorker.class);
+        assertEquals(1, poolStatistics.getHits());
+        assertEquals(2, poolStatistics.getMisses());
+    }
+
+    @Test
+    public void testAcquireAndReleasePooledBeanFromMultipleThreads() throws Exception {
+        Container container = new Container();
+        container.addClass(PooledWorker.class);
+        container.scan();
+
+        int threadCount = 8;
+        int acquiresPerThread = 10000;
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch startSignal = new CountDownLatch(1);
+        List<Future<Boolean>> futures = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < threadCount; i++) {
+                futures.add(executorService.submit(() -> {
+                    startSignal.await();
+                    for (int j = 0; j < acquiresPerThread; j++) {
+                        PooledWorker worker = container.acquire(PooledWorker.class);
+                        if (!worker.markInUse())
+                            return false;
+                        worker.markIdle();
+                        container.release(worker);
+                    }
+                    return true;
+                }));
+            }
+            startSignal.countDown();
+
+            for (Future<Boolean> future : futures)
+                assertTrue("a worker has been used by 2 threads at once", future.get());
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        PoolStatistics poolStatistics = container.getPoolStatistics(PooledWorker.class);
+        assertEquals((long) threadCount * acquiresPerThread, poolStatistics.getHits() + poolStatistics.getMisses());
+    }
+
+    @Test
+    public void testThrowWhenReleasingPooledBeanNotAcquired() {
+        Container container = new Container();
+        container.addClass(PooledWorker.class);
+        container.scan();
+
+        try {
+            container.release(new PooledWorker());
+            fail("worker has not been acquired from the pool and must not be released");
+        } catch (IllegalArgumentException e) {
+
+        }
+    }
+
+    @Test
+    public void testThrowWhenReleasingPooledBeanTwice() {
+        Container container = new Container();
+        container.addClass(PooledWorker.class);
+        container.scan();
+
+        PooledWorker worker = container.acquire(PooledWorker.class);
+        container.release(worker);
+
+        try {
+            container.release(worker);
+            fail("worker is already idle in the pool and must not be released twice");
+        } catch (IllegalArgumentException e) {
+
+        }
+
+        PooledWorker workerA = container.acquire(PooledWorker.class);
+        PooledWorker workerB = container.acquire(PooledWorker.class);
+        assertNotSame(workerA, workerB);
+    }
+
+    @Test
+    public void testPoolIsKeptWhenScanningAgain() {
+        Container container = new Container();
+        container.addClass(PooledWorker.class);
+        container.scan();
+
+        PooledWorker worker = container.acquire(PooledWorker.class);
+        container.release(worker);
+
+        container.scan();
+
+        assertSame(worker, container.acquire(PooledWorker.class));
+        assertEquals(1, container.getPoolStatistics(PooledWorker.class).getHits());
+    }
+
+    @Test
+    public void testThrowWhenGettingPooledBeanAsSingleton() {
+        Container container = new Container();
+        container.addClass(PooledWorker.class);
+        container.scan();
+
+        try {
+            container.getBeanOfClass(PooledWorker.class);
+            fail("PooledWorker is a pooled bean and must be acquired");
+        } catch (IllegalArgumentException e) {
+
+        }
+    }
+
+    @Test
+    public void testThrowWhenAcquiringSingletonBean() {
+        Container container = new Container();
+        container.addClass(InjectionTargetNamed.class);
+        container.scan();
+
+        try {
+            container.acquire(InjectionTargetNamed.class);
+            fail("InjectionTargetNamed is not a pooled bean and can not be acquired");
+        } catch (IllegalArgumentException e) {
+
+        }
+    }
+
+}
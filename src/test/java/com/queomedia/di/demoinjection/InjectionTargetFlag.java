@@ -0,0 +1,15 @@
+package com.queomedia.di.demoinjection;
+
+import com.queomedia.di.annotations.Inject;
+import com.queomedia.di.annotations.Named;
+
+public class InjectionTargetFlag {
+
+    @Inject
+    @Named(name = "enabled")
+    private Boolean enabled;
+
+    public Boolean getEnabled() {
+        return enabled;
+    }
+}
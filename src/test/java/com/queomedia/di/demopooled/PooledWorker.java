@@ -0,0 +1,34 @@
+package com.queomedia.di.demopooled;
+
+import com.queomedia.di.annotations.Bean;
+import com.queomedia.di.annotations.Inject;
+import com.queomedia.di.annotations.Named;
+import com.queomedia.di.annotations.Scope;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Bean(scope = Scope.POOLED_PROTOTYPE, poolSize = 2)
+public class PooledWorker {
+
+    @Inject
+    @Named(name = "a")
+    private Integer valueA;
+
+    private final AtomicBoolean inUse = new AtomicBoolean();
+
+    public PooledWorker() {
+
+    }
+
+    public Integer getValueA() {
+        return valueA;
+    }
+
+    public boolean markInUse() {
+        return inUse.compareAndSet(false, true);
+    }
+
+    public void markIdle() {
+        inUse.set(false);
+    }
+}